@@ -16,8 +16,10 @@ import com.plasma.core.modules.damage.DamageIndicator;
 import com.plasma.core.modules.sit.SitManager;
 import com.plasma.core.modules.trades.TradesManager;
 import com.plasma.core.modules.heads.HeadsManager;
+import com.plasma.core.modules.heads.HeadProfileCache;
 import com.plasma.core.modules.friends.FriendsManager;
 import com.plasma.core.modules.emotes.EmotesManager;
+import com.plasma.core.modules.usernames.UsernameManager;
 import org.bukkit.plugin.java.JavaPlugin;
 
 public class PlasmaCore extends JavaPlugin {
@@ -39,8 +41,10 @@ public class PlasmaCore extends JavaPlugin {
     private SitManager sitManager;
     private TradesManager tradesManager;
     private HeadsManager headsManager;
+    private HeadProfileCache headProfileCache;
     private FriendsManager friendsManager;
     private EmotesManager emotesManager;
+    private UsernameManager usernameManager;
 
     @Override
     public void onEnable() {
@@ -67,6 +71,7 @@ public class PlasmaCore extends JavaPlugin {
     }
 
     private void initModules() {
+        usernameManager = new UsernameManager(this);
         if (getConfig().getBoolean("auth.enabled")) {
             authManager = new AuthManager(this);
         }
@@ -100,6 +105,7 @@ public class PlasmaCore extends JavaPlugin {
             tradesManager = new TradesManager(this);
         }
         if (getConfig().getBoolean("heads.enabled")) {
+            headProfileCache = new HeadProfileCache(this);
             headsManager = new HeadsManager(this);
         }
         friendsManager = new FriendsManager(this);
@@ -124,6 +130,8 @@ public class PlasmaCore extends JavaPlugin {
     public SitManager getSitManager() { return sitManager; }
     public TradesManager getTradesManager() { return tradesManager; }
     public HeadsManager getHeadsManager() { return headsManager; }
+    public HeadProfileCache getHeadProfileCache() { return headProfileCache; }
     public FriendsManager getFriendsManager() { return friendsManager; }
     public EmotesManager getEmotesManager() { return emotesManager; }
+    public UsernameManager getUsernameManager() { return usernameManager; }
 }
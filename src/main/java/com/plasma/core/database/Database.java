@@ -1,26 +1,41 @@
 package com.plasma.core.database;
 
 import com.plasma.core.PlasmaCore;
+import org.bukkit.configuration.ConfigurationSection;
 import java.io.File;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
 
 public class Database {
 
-    private final PlasmaCore plugin;
+    private final File dataFolder;
+    private final Logger logger;
+    private final Supplier<ConfigurationSection> config;
     private Connection connection;
+    private final UsernameDirectory usernames = new UsernameDirectory();
 
     public Database(PlasmaCore plugin) {
-        this.plugin = plugin;
+        this(plugin.getDataFolder(), plugin.getLogger(), plugin::getConfig);
+    }
+
+    public Database(File dataFolder, Logger logger, Supplier<ConfigurationSection> config) {
+        this.dataFolder = dataFolder;
+        this.logger = logger;
+        this.config = config;
     }
 
     public void initialize() {
         try {
-            File dbFile = new File(plugin.getDataFolder(), "plasma.db");
+            File dbFile = new File(dataFolder, "plasma.db");
             connection = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath());
             createTables();
+            loadUsernames();
         } catch (SQLException e) {
-            plugin.getLogger().severe("Ошибка БД: " + e.getMessage());
+            logger.severe("Ошибка БД: " + e.getMessage());
         }
     }
 
@@ -40,9 +55,13 @@ public class Database {
                 ban_until INTEGER,
                 is_muted INTEGER DEFAULT 0,
                 mute_until INTEGER,
-                gender TEXT DEFAULT 'male'
+                gender TEXT DEFAULT 'male',
+                name_updated_at INTEGER
             )
         """);
+        addColumnIfMissing("players", "name_updated_at", "INTEGER");
+        
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_players_username ON players (username COLLATE NOCASE)");
         
         stmt.execute("""
             CREATE TABLE IF NOT EXISTS homes (
@@ -124,10 +143,46 @@ public class Database {
             )
         """);
         
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS head_textures (
+                uuid TEXT PRIMARY KEY,
+                username TEXT NOT NULL,
+                texture TEXT NOT NULL,
+                signature TEXT,
+                updated_at INTEGER NOT NULL
+            )
+        """);
+        
+        stmt.close();
+    }
+
+    private void addColumnIfMissing(String table, String column, String definition) throws SQLException {
+        Statement stmt = connection.createStatement();
+        ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")");
+        boolean exists = false;
+        while (rs.next()) {
+            if (column.equalsIgnoreCase(rs.getString("name"))) exists = true;
+        }
+        rs.close();
+        if (!exists) stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
         stmt.close();
     }
 
+    private void loadUsernames() throws SQLException {
+        Statement stmt = connection.createStatement();
+        ResultSet rs = stmt.executeQuery("SELECT uuid, username FROM players ORDER BY COALESCE(name_updated_at, registered_at, 0)");
+        List<UUID> uuids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        while (rs.next()) {
+            uuids.add(UUID.fromString(rs.getString("uuid")));
+            names.add(rs.getString("username"));
+        }
+        rs.close(); stmt.close();
+        usernames.load(uuids, names);
+    }
+
     public Connection getConnection() { return connection; }
+    public UsernameDirectory getUsernames() { return usernames; }
 
     public void close() {
         try {
@@ -135,7 +190,7 @@ public class Database {
                 connection.close();
             }
         } catch (SQLException e) {
-            plugin.getLogger().severe("Ошибка закрытия БД: " + e.getMessage());
+            logger.severe("Ошибка закрытия БД: " + e.getMessage());
         }
     }
 
@@ -153,15 +208,34 @@ public class Database {
 
     public void registerPlayer(UUID uuid, String username, String password, String ip) {
         try {
-            PreparedStatement ps = connection.prepareStatement("INSERT OR REPLACE INTO players (uuid, username, password, ip, registered_at) VALUES (?, ?, ?, ?, ?)");
+            PreparedStatement ps = connection.prepareStatement("INSERT OR REPLACE INTO players (uuid, username, password, ip, registered_at, name_updated_at) VALUES (?, ?, ?, ?, ?, ?)");
+            long now = System.currentTimeMillis();
             ps.setString(1, uuid.toString());
             ps.setString(2, username);
             ps.setString(3, password);
             ps.setString(4, ip);
-            ps.setLong(5, System.currentTimeMillis());
+            ps.setLong(5, now);
+            ps.setLong(6, now);
             ps.executeUpdate(); ps.close();
-            setBalance(uuid, plugin.getConfig().getDouble("coins.starting-balance", 100));
-        } catch (SQLException e) { plugin.getLogger().severe("Ошибка регистрации: " + e.getMessage()); }
+            usernames.put(uuid, username);
+            setBalance(uuid, config.get().getDouble("coins.starting-balance", 100));
+        } catch (SQLException e) { logger.severe("Ошибка регистрации: " + e.getMessage()); }
+    }
+
+    public void updateUsername(UUID uuid, String username) {
+        try {
+            PreparedStatement ps = connection.prepareStatement("UPDATE players SET username = ?, name_updated_at = ? WHERE uuid = ?");
+            ps.setString(1, username);
+            ps.setLong(2, System.currentTimeMillis());
+            ps.setString(3, uuid.toString());
+            boolean updated = ps.executeUpdate() > 0;
+            ps.close();
+            if (updated) usernames.put(uuid, username);
+        } catch (SQLException e) { logger.severe("Ошибка смены ника: " + e.getMessage()); }
+    }
+
+    public UUID findUuidByName(String username) {
+        return usernames.findUuid(username);
     }
 
     public String getPassword(UUID uuid) {
@@ -172,7 +246,7 @@ public class Database {
             String password = rs.next() ? rs.getString("password") : null;
             rs.close(); ps.close();
             return password;
-        } catch (SQLException e) { return null; }
+        } catch (SQLException e) { logger.severe("Ошибка чтения пароля: " + e.getMessage()); return null; }
     }
 
     public void createSession(UUID uuid, String ip, long expiresAt) {
@@ -182,7 +256,7 @@ public class Database {
             ps.setString(2, ip);
             ps.setLong(3, expiresAt);
             ps.executeUpdate(); ps.close();
-        } catch (SQLException e) { plugin.getLogger().severe("Ошибка сессии: " + e.getMessage()); }
+        } catch (SQLException e) { logger.severe("Ошибка сессии: " + e.getMessage()); }
     }
 
     public boolean hasValidSession(UUID uuid, String ip) {
@@ -198,7 +272,7 @@ public class Database {
             }
             rs.close(); ps.close();
             return false;
-        } catch (SQLException e) { return false; }
+        } catch (SQLException e) { logger.severe("Ошибка проверки сессии: " + e.getMessage()); return false; }
     }
 
     // COINS
@@ -210,7 +284,7 @@ public class Database {
             double balance = rs.next() ? rs.getDouble("balance") : 0;
             rs.close(); ps.close();
             return balance;
-        } catch (SQLException e) { return 0; }
+        } catch (SQLException e) { logger.severe("Ошибка чтения баланса: " + e.getMessage()); return 0; }
     }
 
     public void setBalance(UUID uuid, double balance) {
@@ -219,7 +293,7 @@ public class Database {
             ps.setString(1, uuid.toString());
             ps.setDouble(2, balance);
             ps.executeUpdate(); ps.close();
-        } catch (SQLException e) { plugin.getLogger().severe("Ошибка баланса: " + e.getMessage()); }
+        } catch (SQLException e) { logger.severe("Ошибка баланса: " + e.getMessage()); }
     }
 
     public void addBalance(UUID uuid, double amount) { setBalance(uuid, getBalance(uuid) + amount); }
@@ -238,7 +312,7 @@ public class Database {
             ps.setFloat(7, yaw);
             ps.setFloat(8, pitch);
             ps.executeUpdate(); ps.close();
-        } catch (SQLException e) { plugin.getLogger().severe("Ошибка дома: " + e.getMessage()); }
+        } catch (SQLException e) { logger.severe("Ошибка дома: " + e.getMessage()); }
     }
 
     public ResultSet getHome(UUID uuid, String name) {
@@ -275,7 +349,7 @@ public class Database {
             ps.setString(1, uuid.toString());
             ps.setString(2, name);
             ps.executeUpdate(); ps.close();
-        } catch (SQLException e) { plugin.getLogger().severe("Ошибка удаления дома: " + e.getMessage()); }
+        } catch (SQLException e) { logger.severe("Ошибка удаления дома: " + e.getMessage()); }
     }
 
     // SPAWN
@@ -289,7 +363,7 @@ public class Database {
             ps.setFloat(5, yaw);
             ps.setFloat(6, pitch);
             ps.executeUpdate(); ps.close();
-        } catch (SQLException e) { plugin.getLogger().severe("Ошибка спавна: " + e.getMessage()); }
+        } catch (SQLException e) { logger.severe("Ошибка спавна: " + e.getMessage()); }
     }
 
     public ResultSet getSpawn() {
@@ -312,7 +386,7 @@ public class Database {
             ps.setString(7, blockType);
             ps.setLong(8, System.currentTimeMillis());
             ps.executeUpdate(); ps.close();
-        } catch (SQLException e) { plugin.getLogger().severe("Ошибка лога: " + e.getMessage()); }
+        } catch (SQLException e) { logger.severe("Ошибка лога: " + e.getMessage()); }
     }
 
     public ResultSet getBlockLogs(String world, int x, int y, int z) {
@@ -334,7 +408,7 @@ public class Database {
             ps.setString(2, friendUuid.toString());
             ps.setLong(3, System.currentTimeMillis());
             ps.executeUpdate(); ps.close();
-        } catch (SQLException e) { plugin.getLogger().severe("Ошибка друга: " + e.getMessage()); }
+        } catch (SQLException e) { logger.severe("Ошибка друга: " + e.getMessage()); }
     }
 
     public void removeFriend(UUID uuid, UUID friendUuid) {
@@ -343,7 +417,7 @@ public class Database {
             ps.setString(1, uuid.toString());
             ps.setString(2, friendUuid.toString());
             ps.executeUpdate(); ps.close();
-        } catch (SQLException e) { plugin.getLogger().severe("Ошибка удаления друга: " + e.getMessage()); }
+        } catch (SQLException e) { logger.severe("Ошибка удаления друга: " + e.getMessage()); }
     }
 
     public boolean isFriend(UUID uuid, UUID friendUuid) {
@@ -374,7 +448,7 @@ public class Database {
             ps.setObject(2, until);
             ps.setString(3, uuid.toString());
             ps.executeUpdate(); ps.close();
-        } catch (SQLException e) { plugin.getLogger().severe("Ошибка бана: " + e.getMessage()); }
+        } catch (SQLException e) { logger.severe("Ошибка бана: " + e.getMessage()); }
     }
 
     public void unbanPlayer(UUID uuid) {
@@ -382,7 +456,7 @@ public class Database {
             PreparedStatement ps = connection.prepareStatement("UPDATE players SET is_banned = 0, ban_reason = NULL, ban_until = NULL WHERE uuid = ?");
             ps.setString(1, uuid.toString());
             ps.executeUpdate(); ps.close();
-        } catch (SQLException e) { plugin.getLogger().severe("Ошибка разбана: " + e.getMessage()); }
+        } catch (SQLException e) { logger.severe("Ошибка разбана: " + e.getMessage()); }
     }
 
     public boolean isBanned(UUID uuid) {
@@ -402,7 +476,7 @@ public class Database {
             }
             rs.close(); ps.close();
             return false;
-        } catch (SQLException e) { return false; }
+        } catch (SQLException e) { logger.severe("Ошибка проверки бана: " + e.getMessage()); return false; }
     }
 
     public String getBanReason(UUID uuid) {
@@ -422,7 +496,7 @@ public class Database {
             ps.setObject(1, until);
             ps.setString(2, uuid.toString());
             ps.executeUpdate(); ps.close();
-        } catch (SQLException e) { plugin.getLogger().severe("Ошибка мута: " + e.getMessage()); }
+        } catch (SQLException e) { logger.severe("Ошибка мута: " + e.getMessage()); }
     }
 
     public void unmutePlayer(UUID uuid) {
@@ -430,7 +504,7 @@ public class Database {
             PreparedStatement ps = connection.prepareStatement("UPDATE players SET is_muted = 0, mute_until = NULL WHERE uuid = ?");
             ps.setString(1, uuid.toString());
             ps.executeUpdate(); ps.close();
-        } catch (SQLException e) { plugin.getLogger().severe("Ошибка размута: " + e.getMessage()); }
+        } catch (SQLException e) { logger.severe("Ошибка размута: " + e.getMessage()); }
     }
 
     public boolean isMuted(UUID uuid) {
@@ -450,7 +524,7 @@ public class Database {
             }
             rs.close(); ps.close();
             return false;
-        } catch (SQLException e) { return false; }
+        } catch (SQLException e) { logger.severe("Ошибка проверки мута: " + e.getMessage()); return false; }
     }
 
     // GENDER
@@ -460,7 +534,7 @@ public class Database {
             ps.setString(1, gender);
             ps.setString(2, uuid.toString());
             ps.executeUpdate(); ps.close();
-        } catch (SQLException e) { plugin.getLogger().severe("Ошибка пола: " + e.getMessage()); }
+        } catch (SQLException e) { logger.severe("Ошибка пола: " + e.getMessage()); }
     }
 
     public String getGender(UUID uuid) {
@@ -471,6 +545,35 @@ public class Database {
             String gender = rs.next() ? rs.getString("gender") : "male";
             rs.close(); ps.close();
             return gender;
-        } catch (SQLException e) { return "male"; }
+        } catch (SQLException e) { logger.severe("Ошибка чтения пола: " + e.getMessage()); return "male"; }
+    }
+
+    // HEADS
+    public void saveHeadTexture(UUID uuid, String username, String texture, String signature, long updatedAt) {
+        try {
+            PreparedStatement ps = connection.prepareStatement("INSERT OR REPLACE INTO head_textures (uuid, username, texture, signature, updated_at) VALUES (?, ?, ?, ?, ?)");
+            ps.setString(1, uuid.toString());
+            ps.setString(2, username);
+            ps.setString(3, texture);
+            ps.setString(4, signature);
+            ps.setLong(5, updatedAt);
+            ps.executeUpdate(); ps.close();
+        } catch (SQLException e) { logger.severe("Ошибка текстуры головы: " + e.getMessage()); }
+    }
+
+    public ResultSet getHeadTexture(UUID uuid) {
+        try {
+            PreparedStatement ps = connection.prepareStatement("SELECT * FROM head_textures WHERE uuid = ?");
+            ps.setString(1, uuid.toString());
+            return ps.executeQuery();
+        } catch (SQLException e) { logger.severe("Ошибка чтения текстуры головы: " + e.getMessage()); return null; }
+    }
+
+    public ResultSet getRecentHeadTextures(int limit) {
+        try {
+            PreparedStatement ps = connection.prepareStatement("SELECT * FROM (SELECT * FROM head_textures ORDER BY updated_at DESC LIMIT ?) ORDER BY updated_at ASC");
+            ps.setInt(1, limit);
+            return ps.executeQuery();
+        } catch (SQLException e) { logger.severe("Ошибка загрузки текстур голов: " + e.getMessage()); return null; }
     }
 }
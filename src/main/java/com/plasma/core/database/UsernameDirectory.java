@@ -0,0 +1,110 @@
+package com.plasma.core.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class UsernameDirectory {
+
+    private static final Comparator<String> ORDER = String.CASE_INSENSITIVE_ORDER;
+
+    private final Map<UUID, String> byUuid = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new UUID[0]);
+
+    // Строки должны идти от старых к новым: при совпадении ников побеждает последний.
+    public synchronized void load(List<UUID> uuids, List<String> names) {
+        Map<String, Integer> byName = new HashMap<>();
+        for (int i = 0; i < uuids.size(); i++) {
+            byName.put(names.get(i).toLowerCase(Locale.ROOT), i);
+        }
+
+        Integer[] order = byName.values().toArray(new Integer[0]);
+        Arrays.sort(order, (a, b) -> ORDER.compare(names.get(a), names.get(b)));
+        String[] sortedNames = new String[order.length];
+        UUID[] sortedUuids = new UUID[order.length];
+        byUuid.clear();
+        for (int i = 0; i < order.length; i++) {
+            sortedNames[i] = names.get(order[i]);
+            sortedUuids[i] = uuids.get(order[i]);
+            byUuid.put(sortedUuids[i], sortedNames[i]);
+        }
+        snapshot = new Snapshot(sortedNames, sortedUuids);
+    }
+
+    public synchronized void put(UUID uuid, String name) {
+        Snapshot current = snapshot;
+        int size = current.names.length;
+        String[] names = new String[size + 1];
+        UUID[] uuids = new UUID[size + 1];
+        int count = 0;
+        boolean inserted = false;
+        for (int i = 0; i < size; i++) {
+            if (current.uuids[i].equals(uuid)) continue;
+            if (current.names[i].equalsIgnoreCase(name)) {
+                byUuid.remove(current.uuids[i]);
+                continue;
+            }
+            if (!inserted && ORDER.compare(current.names[i], name) > 0) {
+                names[count] = name;
+                uuids[count++] = uuid;
+                inserted = true;
+            }
+            names[count] = current.names[i];
+            uuids[count++] = current.uuids[i];
+        }
+        if (!inserted) {
+            names[count] = name;
+            uuids[count++] = uuid;
+        }
+        byUuid.put(uuid, name);
+        snapshot = new Snapshot(Arrays.copyOf(names, count), Arrays.copyOf(uuids, count));
+    }
+
+    public UUID findUuid(String name) {
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.names, name, ORDER);
+        return index >= 0 ? current.uuids[index] : null;
+    }
+
+    public String getName(UUID uuid) {
+        return byUuid.get(uuid);
+    }
+
+    public List<String> complete(String prefix, int limit) {
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.names, prefix, ORDER);
+        if (index < 0) index = -index - 1;
+        int end = index;
+        while (end < current.names.length && end - index < limit
+                && current.names[end].regionMatches(true, 0, prefix, 0, prefix.length())) {
+            end++;
+        }
+        if (end == index) return Collections.emptyList();
+        List<String> result = new ArrayList<>(end - index);
+        for (int i = index; i < end; i++) {
+            result.add(current.names[i]);
+        }
+        return result;
+    }
+
+    public int size() {
+        return snapshot.names.length;
+    }
+
+    private static final class Snapshot {
+        private final String[] names;
+        private final UUID[] uuids;
+
+        private Snapshot(String[] names, UUID[] uuids) {
+            this.names = names;
+            this.uuids = uuids;
+        }
+    }
+}
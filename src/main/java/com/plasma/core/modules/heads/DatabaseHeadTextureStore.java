@@ -0,0 +1,61 @@
+package com.plasma.core.modules.heads;
+
+import com.plasma.core.database.Database;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+class DatabaseHeadTextureStore implements HeadTextureStore {
+
+    private final Database database;
+    private final Logger logger;
+
+    DatabaseHeadTextureStore(Database database, Logger logger) {
+        this.database = database;
+        this.logger = logger;
+    }
+
+    @Override
+    public HeadTexture load(UUID uuid) {
+        ResultSet rs = database.getHeadTexture(uuid);
+        if (rs == null) return null;
+        try {
+            HeadTexture head = rs.next() ? fromRow(rs) : null;
+            rs.getStatement().close();
+            return head;
+        } catch (SQLException e) {
+            logger.severe("Ошибка чтения текстуры головы: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public Map<UUID, HeadTexture> loadRecent(int limit) {
+        Map<UUID, HeadTexture> heads = new LinkedHashMap<>();
+        ResultSet rs = database.getRecentHeadTextures(limit);
+        if (rs == null) return heads;
+        try {
+            while (rs.next()) {
+                heads.put(UUID.fromString(rs.getString("uuid")), fromRow(rs));
+            }
+            rs.getStatement().close();
+        } catch (SQLException e) {
+            logger.severe("Ошибка загрузки текстур голов: " + e.getMessage());
+        }
+        return heads;
+    }
+
+    @Override
+    public void save(UUID uuid, HeadTexture texture) {
+        database.saveHeadTexture(uuid, texture.getName(), texture.getTexture(), texture.getSignature(), texture.getUpdatedAt());
+    }
+
+    private HeadTexture fromRow(ResultSet rs) throws SQLException {
+        return new HeadTexture(rs.getString("username"), rs.getString("texture"),
+                rs.getString("signature"), rs.getLong("updated_at"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.plasma.core.modules.heads;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import com.destroystokyo.paper.profile.ProfileProperty;
+import com.plasma.core.PlasmaCore;
+import com.plasma.core.utils.MessageUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+
+import java.util.UUID;
+
+public class HeadProfileCache implements Listener {
+
+    private static final String TEXTURES = "textures";
+
+    private final String headName;
+    private final HeadTextureCache textures;
+
+    public HeadProfileCache(PlasmaCore plugin) {
+        int maxSize = plugin.getConfig().getInt("heads.cache-size", 500);
+        if (maxSize < 1) {
+            plugin.getLogger().warning("heads.cache-size должен быть больше 0, используется 500");
+            maxSize = 500;
+        }
+        long ttlMillis = plugin.getConfig().getLong("heads.texture-ttl-hours", 72) * 60 * 60 * 1000;
+        this.headName = plugin.getConfig().getString("heads.head-name", "&eГолова &f{player}");
+        this.textures = new HeadTextureCache(new DatabaseHeadTextureStore(plugin.getDatabase(), plugin.getLogger()),
+                task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task),
+                maxSize, ttlMillis, System::currentTimeMillis);
+        textures.preload();
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+    }
+
+    public ItemStack getHead(UUID uuid, String name) {
+        return textures.get(uuid, name).template(head -> buildHead(uuid, head)).clone();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        ProfileProperty property = findTextures(event.getPlayer().getPlayerProfile());
+        if (property == null) return;
+        textures.update(event.getPlayer().getUniqueId(), event.getPlayer().getName(),
+                property.getValue(), property.getSignature());
+    }
+
+    private ProfileProperty findTextures(PlayerProfile profile) {
+        for (ProfileProperty property : profile.getProperties()) {
+            if (TEXTURES.equals(property.getName())) return property;
+        }
+        return null;
+    }
+
+    private ItemStack buildHead(UUID uuid, HeadTexture head) {
+        PlayerProfile profile = Bukkit.createProfile(uuid, head.getName());
+        if (head.hasTexture()) {
+            profile.setProperty(new ProfileProperty(TEXTURES, head.getTexture(), head.getSignature()));
+        }
+        ItemStack item = new ItemStack(Material.PLAYER_HEAD);
+        SkullMeta meta = (SkullMeta) item.getItemMeta();
+        meta.setPlayerProfile(profile);
+        meta.setDisplayName(MessageUtils.color(headName.replace("{player}", head.getName())));
+        item.setItemMeta(meta);
+        return item;
+    }
+}
@@ -0,0 +1,32 @@
+package com.plasma.core.modules.heads;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.function.Function;
+
+public final class HeadTexture {
+
+    private final String name;
+    private final String texture;
+    private final String signature;
+    private final long updatedAt;
+    private ItemStack template;
+
+    public HeadTexture(String name, String texture, String signature, long updatedAt) {
+        this.name = name;
+        this.texture = texture;
+        this.signature = signature;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getName() { return name; }
+    public String getTexture() { return texture; }
+    public String getSignature() { return signature; }
+    public long getUpdatedAt() { return updatedAt; }
+    public boolean hasTexture() { return texture != null; }
+
+    synchronized ItemStack template(Function<HeadTexture, ItemStack> builder) {
+        if (template == null) template = builder.apply(this);
+        return template;
+    }
+}
@@ -0,0 +1,70 @@
+package com.plasma.core.modules.heads;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+
+public class HeadTextureCache {
+
+    private final HeadTextureStore store;
+    private final Executor async;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<UUID, HeadTexture> cache;
+
+    public HeadTextureCache(HeadTextureStore store, Executor async, int maxSize, long ttlMillis, LongSupplier clock) {
+        this.store = store;
+        this.async = async;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(maxSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, HeadTexture> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public void preload() {
+        cache.putAll(store.loadRecent(maxSize));
+    }
+
+    public HeadTexture get(UUID uuid, String name) {
+        Objects.requireNonNull(name, "name");
+        HeadTexture head = cache.get(uuid);
+        if (head != null) return head;
+
+        HeadTexture missing = new HeadTexture(name, null, null, 0);
+        head = cache.putIfAbsent(uuid, missing);
+        if (head != null) return head;
+        async.execute(() -> {
+            HeadTexture loaded = store.load(uuid);
+            if (loaded != null) cache.replace(uuid, missing, loaded);
+        });
+        return missing;
+    }
+
+    public boolean update(UUID uuid, String name, String texture, String signature) {
+        long now = clock.getAsLong();
+        HeadTexture cached = cache.get(uuid);
+        if (cached != null && Objects.equals(cached.getName(), name) && texture.equals(cached.getTexture())
+                && now - cached.getUpdatedAt() < ttlMillis) {
+            return false;
+        }
+
+        HeadTexture head = new HeadTexture(name, texture, signature, now);
+        cache.put(uuid, head);
+        async.execute(() -> store.save(uuid, head));
+        return true;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
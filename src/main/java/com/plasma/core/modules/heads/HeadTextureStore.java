@@ -0,0 +1,14 @@
+package com.plasma.core.modules.heads;
+
+import java.util.Map;
+import java.util.UUID;
+
+public interface HeadTextureStore {
+
+    HeadTexture load(UUID uuid);
+
+    // Самые свежие записи, от старых к новым.
+    Map<UUID, HeadTexture> loadRecent(int limit);
+
+    void save(UUID uuid, HeadTexture texture);
+}
@@ -0,0 +1,50 @@
+package com.plasma.core.modules.usernames;
+
+import com.plasma.core.PlasmaCore;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+import java.util.List;
+import java.util.UUID;
+
+public class UsernameManager implements Listener {
+
+    private static final int COMPLETE_LIMIT = 50;
+
+    private final PlasmaCore plugin;
+
+    public UsernameManager(PlasmaCore plugin) {
+        this.plugin = plugin;
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        plugin.getLogger().info("Загружено ников: " + plugin.getDatabase().getUsernames().size());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        String known = plugin.getDatabase().getUsernames().getName(player.getUniqueId());
+        if (!player.getName().equals(known)) {
+            plugin.getDatabase().updateUsername(player.getUniqueId(), player.getName());
+        }
+    }
+
+    public UUID getUuid(String name) {
+        Player online = Bukkit.getPlayerExact(name);
+        if (online != null) return online.getUniqueId();
+        return plugin.getDatabase().findUuidByName(name);
+    }
+
+    public OfflinePlayer getOfflinePlayer(String name) {
+        UUID uuid = getUuid(name);
+        return uuid != null ? Bukkit.getOfflinePlayer(uuid) : null;
+    }
+
+    public List<String> complete(String prefix) {
+        return plugin.getDatabase().getUsernames().complete(prefix, COMPLETE_LIMIT);
+    }
+}
@@ -0,0 +1,92 @@
+package com.plasma.core.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UsernameDirectoryTest {
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+
+    @Test
+    void loadKeepsLastHolderOfDuplicateName() {
+        UsernameDirectory directory = new UsernameDirectory();
+        directory.load(List.of(a, b, c), List.of("Foo", "Bar", "foo"));
+
+        assertEquals(2, directory.size());
+        assertEquals(c, directory.findUuid("FOO"));
+        assertEquals(b, directory.findUuid("bar"));
+        assertEquals("foo", directory.getName(c));
+        assertNull(directory.getName(a));
+    }
+
+    @Test
+    void putRenameMovesUuid() {
+        UsernameDirectory directory = new UsernameDirectory();
+        directory.load(List.of(a, b), List.of("Foo", "Zed"));
+        directory.put(a, "Bar");
+
+        assertNull(directory.findUuid("Foo"));
+        assertEquals(a, directory.findUuid("bar"));
+        assertEquals("Bar", directory.getName(a));
+        assertEquals(List.of("Bar", "Zed"), directory.complete("", 10));
+    }
+
+    @Test
+    void putStealEvictsPreviousHolder() {
+        UsernameDirectory directory = new UsernameDirectory();
+        directory.load(List.of(a, b), List.of("Foo", "Bar"));
+        directory.put(b, "foo");
+
+        assertEquals(1, directory.size());
+        assertEquals(b, directory.findUuid("Foo"));
+        assertNull(directory.getName(a));
+        assertNull(directory.findUuid("Bar"));
+    }
+
+    @Test
+    void putRecaseReplacesEntry() {
+        UsernameDirectory directory = new UsernameDirectory();
+        directory.put(a, "foo");
+        directory.put(a, "Foo");
+
+        assertEquals(1, directory.size());
+        assertEquals("Foo", directory.getName(a));
+        assertEquals(List.of("Foo"), directory.complete("F", 10));
+    }
+
+    @Test
+    void completeEmptyPrefixReturnsSortedNames() {
+        UsernameDirectory directory = new UsernameDirectory();
+        directory.load(List.of(a, b, c), List.of("charlie", "Alpha", "bravo"));
+
+        assertEquals(List.of("Alpha", "bravo", "charlie"), directory.complete("", 10));
+    }
+
+    @Test
+    void completeRespectsLimitAndPrefix() {
+        UsernameDirectory directory = new UsernameDirectory();
+        directory.load(List.of(a, b, c), List.of("Steve", "stone", "Alex"));
+
+        assertEquals(List.of("Steve"), directory.complete("st", 1));
+        assertEquals(List.of("Steve", "stone"), directory.complete("ST", 10));
+        assertEquals(List.of("stone"), directory.complete("sto", 10));
+    }
+
+    @Test
+    void completeWithoutMatchesIsEmpty() {
+        UsernameDirectory directory = new UsernameDirectory();
+        directory.load(List.of(a, b), List.of("Alex", "Steve"));
+
+        assertTrue(directory.complete("Z", 10).isEmpty());
+        assertTrue(directory.complete("Alexa", 10).isEmpty());
+        assertTrue(new UsernameDirectory().complete("", 10).isEmpty());
+    }
+}
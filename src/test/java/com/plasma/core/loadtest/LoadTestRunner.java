@@ -0,0 +1,304 @@
+package com.plasma.core.loadtest;
+
+import com.plasma.core.database.Database;
+import org.bukkit.configuration.MemoryConfiguration;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+// Запуск: mvn -Ploadtest test-compile exec:java -Dexec.args="players=2000 threads=16 joins=5000"
+public class LoadTestRunner {
+
+    private static final double CONTENTION_FACTOR = 4.0;
+    private static final int BASELINE_MIN_OPS = 1000;
+
+    private final Map<String, Integer> options;
+    private final int threads;
+    private final List<UUID> uuids = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final AtomicInteger errors = new AtomicInteger();
+    private Database database;
+
+    private LoadTestRunner(Map<String, Integer> options) {
+        this.options = options;
+        this.threads = option("threads", 8);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, Integer> options = new HashMap<>();
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            if (parts.length != 2) throw new IllegalArgumentException("Ожидается key=value: " + arg);
+            options.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        new LoadTestRunner(options).run();
+    }
+
+    private int option(String key, int def) {
+        return options.getOrDefault(key, def);
+    }
+
+    private void run() throws Exception {
+        File folder = Files.createTempDirectory("plasma-loadtest").toFile();
+        MemoryConfiguration config = new MemoryConfiguration();
+        config.set("coins.starting-balance", 1000);
+        database = new Database(folder, createLogger(), () -> config);
+        database.initialize();
+
+        try {
+            seed(option("players", 1000));
+            System.out.printf("Потоков: %d, игроков: %d, БД: %s%n", threads, uuids.size(), folder);
+            System.out.println("Все операции идут через одно JDBC-соединение: SQLITE_BUSY/LOCKED здесь невозможны,");
+            System.out.printf("конкуренция видна только по росту p50 более чем в %.0f раза относительно одного потока.%n%n", CONTENTION_FACTOR);
+
+            scenario("join", option("joins", 2000), this::join);
+            scenario("chat", option("chat", 20000), this::chat);
+            scenario("block-break", option("blocks", 20000), this::blockBreak);
+
+            double before = totalBalance();
+            int errorsBefore = errors.get();
+            scenario("pay", option("pays", 5000), this::pay);
+            double after = totalBalance();
+            if (errors.get() != errorsBefore) {
+                System.out.println("  ! pay: были ошибки БД, проверка суммы балансов пропущена");
+            } else if (Math.abs(before - after) > 0.0001) {
+                System.out.printf("  ! pay: сумма балансов изменилась на %.2f — потерянные обновления%n", after - before);
+            }
+        } finally {
+            database.close();
+            File[] files = folder.listFiles();
+            if (files != null) for (File file : files) file.delete();
+            folder.delete();
+        }
+    }
+
+    private Logger createLogger() {
+        Logger logger = Logger.getLogger("PlasmaLoadTest");
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                if (record.getLevel().intValue() >= Level.SEVERE.intValue()) errors.incrementAndGet();
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        });
+        return logger;
+    }
+
+    private void seed(int players) {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < players; i++) {
+            UUID uuid = UUID.randomUUID();
+            String name = "Player" + i;
+            database.registerPlayer(uuid, name, "hash" + i, "127.0.0." + (i % 250));
+            database.createSession(uuid, "127.0.0." + (i % 250), now + 3_600_000L);
+            if (i % 50 == 0) database.banPlayer(uuid, "loadtest", null);
+            if (i % 20 == 0) database.mutePlayer(uuid, now + 3_600_000L);
+            uuids.add(uuid);
+            names.add(name);
+        }
+    }
+
+    private void join(Stats stats, int i) {
+        int index = random(uuids.size());
+        UUID uuid = uuids.get(index);
+        String ip = "127.0.0." + (index % 250);
+        long start = System.nanoTime();
+
+        long t = System.nanoTime();
+        boolean session = database.hasValidSession(uuid, ip);
+        stats.record("hasValidSession", System.nanoTime() - t);
+        t = System.nanoTime();
+        database.isBanned(uuid);
+        stats.record("isBanned", System.nanoTime() - t);
+        if (!session) {
+            t = System.nanoTime();
+            database.getPassword(uuid);
+            stats.record("getPassword", System.nanoTime() - t);
+        }
+        t = System.nanoTime();
+        database.getGender(uuid);
+        stats.record("getGender", System.nanoTime() - t);
+        t = System.nanoTime();
+        database.getBalance(uuid);
+        stats.record("getBalance", System.nanoTime() - t);
+
+        stats.record("join (всего)", System.nanoTime() - start);
+    }
+
+    private void chat(Stats stats, int i) {
+        UUID uuid = uuids.get(random(uuids.size()));
+        long t = System.nanoTime();
+        database.isMuted(uuid);
+        stats.record("isMuted", System.nanoTime() - t);
+    }
+
+    private void blockBreak(Stats stats, int i) {
+        UUID uuid = uuids.get(random(uuids.size()));
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long t = System.nanoTime();
+        database.logBlock(uuid, "break", "world", random.nextInt(-1000, 1000), random.nextInt(-64, 320), random.nextInt(-1000, 1000), "STONE");
+        stats.record("logBlock", System.nanoTime() - t);
+    }
+
+    private void pay(Stats stats, int i) {
+        UUID sender = uuids.get(random(uuids.size()));
+        String targetName = names.get(random(names.size()));
+        double amount = 1 + random(10);
+        long start = System.nanoTime();
+
+        long t = System.nanoTime();
+        UUID target = database.findUuidByName(targetName);
+        stats.record("findUuidByName", System.nanoTime() - t);
+        if (target == null || target.equals(sender)) return;
+        t = System.nanoTime();
+        boolean enough = database.getBalance(sender) >= amount;
+        stats.record("getBalance", System.nanoTime() - t);
+        if (!enough) return;
+        t = System.nanoTime();
+        database.removeBalance(sender, amount);
+        database.addBalance(target, amount);
+        stats.record("transfer", System.nanoTime() - t);
+
+        stats.record("pay (всего)", System.nanoTime() - start);
+    }
+
+    private double totalBalance() {
+        double total = 0;
+        for (UUID uuid : uuids) total += database.getBalance(uuid);
+        return total;
+    }
+
+    private void scenario(String name, int ops, Operation operation) throws InterruptedException {
+        int errorsBefore = errors.get();
+        int baselineOps = Math.max(BASELINE_MIN_OPS, ops / 5);
+        // Прогрев JIT и первых запросов, результаты не учитываются.
+        execute(baselineOps, 1, operation);
+        execute(baselineOps, threads, operation);
+        Result baseline = execute(baselineOps, 1, operation);
+        Result loaded = execute(ops, threads, operation);
+        int scenarioErrors = errors.get() - errorsBefore;
+
+        System.out.printf("== %s: %d оп., %.1f с, %.0f оп/с (1 поток: %.0f оп/с)%n", name, ops,
+                loaded.elapsedNanos / 1e9, ops / (loaded.elapsedNanos / 1e9), baseline.ops / (baseline.elapsedNanos / 1e9));
+        System.out.printf("  %-18s %8s %10s %10s %10s %10s %8s%n", "операция", "кол-во", "p50 мкс", "p99 мкс", "p999 мкс", "max мкс", "x1 поток");
+        for (Map.Entry<String, Recorder> entry : loaded.stats.recorders.entrySet()) {
+            long[] samples = entry.getValue().sorted();
+            if (samples.length == 0) continue;
+            Recorder single = baseline.stats.recorders.get(entry.getKey());
+            long singleP50 = single != null ? percentile(single.sorted(), 0.50) : 0;
+            double factor = singleP50 > 0 ? (double) percentile(samples, 0.50) / singleP50 : 0;
+            System.out.printf("  %-18s %8d %10.1f %10.1f %10.1f %10.1f %7.1fx%s%n", entry.getKey(), samples.length,
+                    percentile(samples, 0.50) / 1e3, percentile(samples, 0.99) / 1e3, percentile(samples, 0.999) / 1e3,
+                    samples[samples.length - 1] / 1e3, factor, factor > CONTENTION_FACTOR ? "  ! конкуренция за блокировку" : "");
+        }
+        if (scenarioErrors > 0) {
+            System.out.printf("  ! ошибок БД: %d%n", scenarioErrors);
+        }
+        System.out.println();
+    }
+
+    private Result execute(int ops, int threadCount, Operation operation) throws InterruptedException {
+        Stats stats = new Stats(ops);
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threadCount);
+        for (int t = 0; t < threadCount; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                int i;
+                while ((i = next.getAndIncrement()) < ops) operation.run(stats, i);
+            });
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.HOURS);
+        return new Result(stats, ops, System.nanoTime() - began);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    private interface Operation {
+        void run(Stats stats, int i);
+    }
+
+    private static final class Result {
+        private final Stats stats;
+        private final int ops;
+        private final long elapsedNanos;
+
+        private Result(Stats stats, int ops, long elapsedNanos) {
+            this.stats = stats;
+            this.ops = ops;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+
+    private static final class Stats {
+        private final int capacity;
+        private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+        private Stats(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private void record(String operation, long nanos) {
+            recorders.computeIfAbsent(operation, key -> new Recorder(capacity)).record(nanos);
+        }
+    }
+
+    private static final class Recorder {
+        private final long[] samples;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Recorder(int capacity) {
+            this.samples = new long[capacity];
+        }
+
+        private void record(long nanos) {
+            int index = count.getAndIncrement();
+            if (index < samples.length) samples[index] = nanos;
+        }
+
+        private long[] sorted() {
+            long[] copy = Arrays.copyOf(samples, Math.min(count.get(), samples.length));
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
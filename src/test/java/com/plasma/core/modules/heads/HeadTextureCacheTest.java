@@ -0,0 +1,174 @@
+package com.plasma.core.modules.heads;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeadTextureCacheTest {
+
+    private static final long TTL = 1000;
+
+    private final StubStore store = new StubStore();
+    private final QueueExecutor async = new QueueExecutor();
+    private long now = 10_000;
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+
+    private HeadTextureCache cache(int maxSize) {
+        return new HeadTextureCache(store, async, maxSize, TTL, () -> now);
+    }
+
+    @Test
+    void missReturnsPlaceholderAndLoadsOnce() {
+        store.rows.put(a, new HeadTexture("Alex", "tex-a", "sig-a", 1));
+        HeadTextureCache cache = cache(10);
+
+        HeadTexture first = cache.get(a, "Alex");
+        HeadTexture second = cache.get(a, "Alex");
+        assertFalse(first.hasTexture());
+        assertSame(first, second);
+        assertEquals(1, async.tasks.size());
+
+        async.runAll();
+        assertEquals(1, store.loads);
+        assertEquals("tex-a", cache.get(a, "Alex").getTexture());
+    }
+
+    @Test
+    void unknownPlayerStaysCachedAsPlaceholder() {
+        HeadTextureCache cache = cache(10);
+        cache.get(a, "Alex");
+        async.runAll();
+
+        assertFalse(cache.get(a, "Alex").hasTexture());
+        assertTrue(async.tasks.isEmpty());
+        assertEquals(1, store.loads);
+    }
+
+    @Test
+    void loadDoesNotOverwriteNewerJoinTexture() {
+        store.rows.put(a, new HeadTexture("Alex", "old", null, 1));
+        HeadTextureCache cache = cache(10);
+
+        cache.get(a, "Alex");
+        cache.update(a, "Alex", "fresh", "sig");
+        async.runAll();
+
+        assertEquals("fresh", cache.get(a, "Alex").getTexture());
+        assertEquals("fresh", store.rows.get(a).getTexture());
+    }
+
+    @Test
+    void updateSkippedWithinTtlAndRefreshedAfter() {
+        HeadTextureCache cache = cache(10);
+        assertTrue(cache.update(a, "Alex", "tex", "sig"));
+        async.runAll();
+
+        now += TTL - 1;
+        assertFalse(cache.update(a, "Alex", "tex", "sig"));
+        now += 1;
+        assertTrue(cache.update(a, "Alex", "tex", "sig"));
+        assertTrue(cache.update(a, "Alex2", "tex", "sig"));
+        assertTrue(cache.update(a, "Alex2", "other", "sig"));
+        async.runAll();
+
+        assertEquals(4, store.saves.size());
+        assertEquals("other", store.rows.get(a).getTexture());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        HeadTextureCache cache = cache(2);
+        cache.update(a, "A", "tex-a", null);
+        cache.update(b, "B", "tex-b", null);
+        cache.get(a, "A");
+        cache.update(c, "C", "tex-c", null);
+        async.runAll();
+
+        assertEquals(2, cache.size());
+        assertEquals("tex-a", cache.get(a, "A").getTexture());
+        store.rows.clear();
+        assertFalse(cache.get(b, "B").hasTexture());
+    }
+
+    @Test
+    void preloadKeepsNewestEntries() {
+        store.rows.put(a, new HeadTexture("A", "tex-a", null, 1));
+        store.rows.put(b, new HeadTexture("B", "tex-b", null, 2));
+        HeadTextureCache cache = cache(2);
+        cache.preload();
+
+        cache.update(c, "C", "tex-c", null);
+        store.rows.clear();
+        async.runAll();
+
+        assertEquals("tex-b", cache.get(b, "B").getTexture());
+        assertFalse(cache.get(a, "A").hasTexture());
+    }
+
+    @Test
+    void rejectsNullName() {
+        HeadTextureCache cache = cache(10);
+        assertThrows(NullPointerException.class, () -> cache.get(a, null));
+    }
+
+    private static final class StubStore implements HeadTextureStore {
+        private final Map<UUID, HeadTexture> rows = new HashMap<>();
+        private final List<UUID> saves = new ArrayList<>();
+        private int loads;
+
+        @Override
+        public HeadTexture load(UUID uuid) {
+            loads++;
+            return rows.get(uuid);
+        }
+
+        @Override
+        public Map<UUID, HeadTexture> loadRecent(int limit) {
+            List<Map.Entry<UUID, HeadTexture>> entries = new ArrayList<>(rows.entrySet());
+            entries.sort((x, y) -> Long.compare(y.getValue().getUpdatedAt(), x.getValue().getUpdatedAt()));
+            List<Map.Entry<UUID, HeadTexture>> newest = new ArrayList<>(entries.subList(0, Math.min(limit, entries.size())));
+            Map<UUID, HeadTexture> result = new LinkedHashMap<>();
+            for (int i = newest.size() - 1; i >= 0; i--) {
+                result.put(newest.get(i).getKey(), newest.get(i).getValue());
+            }
+            return result;
+        }
+
+        @Override
+        public void save(UUID uuid, HeadTexture texture) {
+            saves.add(uuid);
+            rows.put(uuid, texture);
+        }
+    }
+
+    private static final class QueueExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) task.run();
+        }
+    }
+}